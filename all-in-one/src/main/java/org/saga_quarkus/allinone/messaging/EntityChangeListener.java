@@ -0,0 +1,15 @@
+package org.saga_quarkus.allinone.messaging;
+
+import io.quarkus.arc.Arc;
+
+/**
+ * Republishes inserts and updates of the saga entities as {@link EntityChangedEvent}.
+ * Registered, together with its post-persist and post-update callbacks, as a default entity listener
+ * in META-INF/orm.xml, so the distributed services don't run it.
+ */
+public class EntityChangeListener {
+
+    void onChange(Object entity) {
+        Arc.container().beanManager().getEvent().select(EntityChangedEvent.class).fire(new EntityChangedEvent(entity));
+    }
+}
@@ -0,0 +1,8 @@
+package org.saga_quarkus.allinone.messaging;
+
+/**
+ * CDI event fired when a saga entity is inserted or updated.
+ * Observed after commit in place of the Debezium change events.
+ */
+public record EntityChangedEvent(Object entity) {
+}
@@ -0,0 +1,130 @@
+package org.saga_quarkus.allinone.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.smallrye.reactive.messaging.annotations.Broadcast;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.OnOverflow;
+import org.saga_quarkus.common.data.entity.Order;
+import org.saga_quarkus.common.data.entity.Payment;
+import org.saga_quarkus.common.data.entity.StockReservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces the Postgres -> Debezium -> Kafka round trip of the distributed deployment.
+ * <p>
+ * Committed changes of the saga entities are sent on the same channels the services consume,
+ * wrapped in a Debezium-like envelope so that {@code DebeziumEventDeserializer} reads them unchanged.
+ */
+@ApplicationScoped
+public class InMemoryChangeEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryChangeEventPublisher.class);
+
+    @ConfigProperty(name = "saga.in-memory.max-retries", defaultValue = "3")
+    int maxRetries;
+
+    @ConfigProperty(name = "saga.in-memory.retry-delay", defaultValue = "1s")
+    Duration retryDelay;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    // Consumed by both PaymentProcessor and StockProcessor
+    @Inject
+    @Channel("order-events")
+    @Broadcast(2)
+    @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER)
+    Emitter<String> orderEvents;
+
+    @Inject
+    @Channel("payment-events")
+    @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER)
+    Emitter<String> paymentEvents;
+
+    @Inject
+    @Channel("stock-events")
+    @OnOverflow(OnOverflow.Strategy.UNBOUNDED_BUFFER)
+    Emitter<String> stockEvents;
+
+    // Like CDC, consumers only see changes once the transaction has committed
+    void onEntityChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        publish(event.entity());
+    }
+
+    /**
+     * Sends the current state of a saga entity on its channel.
+     * <p>
+     * A handler failure nacks the message: where Kafka would redeliver the uncommitted offset, the same
+     * payload is sent again up to max-retries times. Consumers of a broadcast channel that had already
+     * processed it skip the duplicate, as they do with Kafka redeliveries.
+     *
+     * @return completed once the event has been processed, or all the attempts have failed
+     */
+    CompletionStage<Void> publish(Object entity) {
+        Emitter<String> emitter;
+        String description;
+        switch (entity) {
+            case Order order -> {
+                emitter = orderEvents;
+                description = "Order " + order.id;
+            }
+            case Payment payment -> {
+                emitter = paymentEvents;
+                description = "Payment " + payment.id + " of Order " + payment.orderId;
+            }
+            case StockReservation reservation -> {
+                emitter = stockEvents;
+                description = "StockReservation " + reservation.id + " of Order " + reservation.orderId;
+            }
+            default -> {
+                log.debug("No channel for entity {}. Ignoring.", entity.getClass().getSimpleName());
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
+        String payload;
+        try {
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.set("after", objectMapper.valueToTree(entity));
+            payload = objectMapper.writeValueAsString(envelope);
+        } catch (Exception e) {
+            log.error("Failed to serialize change event for {}", description, e);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.debug("Publishing in-memory change event: {}", payload);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        send(emitter, payload, description, 1, done);
+        return done;
+    }
+
+    private void send(Emitter<String> emitter, String payload, String description, int attempt, CompletableFuture<Void> done) {
+        emitter.send(payload).whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                done.complete(null);
+            } else if (attempt <= maxRetries) {
+                log.warn("Processing of change event for {} failed (attempt {}), retrying in {}: {}",
+                        description, attempt, retryDelay, failure.getMessage());
+                CompletableFuture.runAsync(() -> send(emitter, payload, description, attempt + 1, done),
+                        CompletableFuture.delayedExecutor(retryDelay.toMillis(), TimeUnit.MILLISECONDS));
+            } else {
+                log.error("Processing of change event for {} failed after {} attempts. The saga will only resume "
+                        + "at the next restart.", description, attempt, failure);
+                done.complete(null);
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package org.saga_quarkus.allinone.messaging;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.saga_quarkus.common.data.entity.Order;
+import org.saga_quarkus.common.data.entity.Payment;
+import org.saga_quarkus.common.data.entity.StockReservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resumes the sagas left running by a previous JVM.
+ * <p>
+ * The in-memory channels lose the events that were committed but not yet consumed when the JVM stopped,
+ * where CDC would have replayed them. At startup the current state of every non-terminal order, and of its
+ * payment and stock reservation, is sent again: the handlers skip what they have already processed.
+ * <p>
+ * Orders are read page by page, each in its own transaction, and a page is only sent once the previous one
+ * has been processed, so that the emitters' buffers stay bounded. The recovered sagas don't feed the admission
+ * control: its slots and samples only cover the sagas admitted since this startup.
+ */
+@ApplicationScoped
+public class InMemoryChangeEventRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryChangeEventRecovery.class);
+
+    @ConfigProperty(name = "saga.recovery.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "saga.recovery.page-size", defaultValue = "200")
+    int pageSize;
+
+    @Inject
+    InMemoryChangeEventPublisher publisher;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // Off the startup thread: each page waits for the consumers, which are only wired once startup completes
+        Thread.ofPlatform().name("saga-recovery").daemon().start(this::recover);
+    }
+
+    void recover() {
+        long recovered = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                long afterId = lastId;
+                List<CompletableFuture<Void>> sent = new ArrayList<>();
+                List<Order> orders = QuarkusTransaction.requiringNew().call(() -> publishPage(afterId, sent));
+                if (orders.isEmpty()) {
+                    break;
+                }
+                CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new)).join();
+                recovered += orders.size();
+                lastId = orders.get(orders.size() - 1).id;
+            }
+            log.info("Recovered {} running sagas.", recovered);
+        } catch (Exception e) {
+            log.error("Saga recovery stopped after {} sagas (last order id: {})", recovered, lastId, e);
+        }
+    }
+
+    private List<Order> publishPage(long afterId, List<CompletableFuture<Void>> sent) {
+        List<Order> orders = Order.find("status not in ?1 and id > ?2 order by id",
+                        List.of(Order.STATUS_COMPLETED, Order.STATUS_FAILED), afterId)
+                .page(0, pageSize)
+                .list();
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        List<Long> orderIds = orders.stream().map(order -> order.id).toList();
+        List<Payment> payments = Payment.list("orderId in ?1", orderIds);
+        List<StockReservation> reservations = StockReservation.list("orderId in ?1", orderIds);
+
+        log.debug("Recovering {} sagas after order id {} ({} payments, {} stock reservations).",
+                orders.size(), afterId, payments.size(), reservations.size());
+        orders.forEach(order -> sent.add(publisher.publish(order).toCompletableFuture()));
+        payments.forEach(payment -> sent.add(publisher.publish(payment).toCompletableFuture()));
+        reservations.forEach(reservation -> sent.add(publisher.publish(reservation).toCompletableFuture()));
+        return orders;
+    }
+}
@@ -1,6 +1,7 @@
 package org.saga_quarkus.common.kafka;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
@@ -12,6 +13,10 @@ import java.util.Base64;
 public class DebeziumBigDecimalDeserializer extends JsonDeserializer<BigDecimal> {
     @Override
     public BigDecimal deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        // Plain numbers come from the in-memory channels of the all-in-one assembly
+        if (p.currentToken() == JsonToken.VALUE_NUMBER_INT || p.currentToken() == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDecimalValue();
+        }
         String base64 = p.getText();
         if (base64 == null) return null;
         byte[] bytes = Base64.getDecoder().decode(base64);
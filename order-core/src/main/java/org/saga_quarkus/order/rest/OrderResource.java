@@ -0,0 +1,167 @@
+package org.saga_quarkus.order.rest;
+
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.saga_quarkus.common.data.entity.Order;
+import org.saga_quarkus.order.data.dto.OrderRequest;
+import org.saga_quarkus.order.service.IdempotencyKeyStore;
+import org.saga_quarkus.order.service.SagaAdmissionController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Path("/orders")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class OrderResource {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderResource.class);
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    // Not part of Response.Status
+    static final int UNPROCESSABLE_ENTITY = 422;
+
+    @Inject
+    SagaAdmissionController admissionController;
+
+    @Inject
+    IdempotencyKeyStore idempotencyKeyStore;
+
+    @Inject
+    TransactionSynchronizationRegistry txRegistry;
+
+    @POST
+    @Transactional // Ensure the operation is atomic
+    public Response createOrder(@HeaderParam(IDEMPOTENCY_KEY_HEADER) String idempotencyKey, OrderRequest orderRequest) {
+        log.info("Received order request: {}", orderRequest); // Add this line
+        if (orderRequest == null || orderRequest.productId == null || orderRequest.quantity == null || orderRequest.userId == null || orderRequest.quantity <= 0) {
+            log.warn("Received invalid order request: {}", orderRequest);
+            return Response.status(Response.Status.BAD_REQUEST).entity("Invalid order data provided.").build();
+        }
+
+        log.info("Received order request: {}", orderRequest);
+
+        if (idempotencyKey != null && !idempotencyKeyStore.isValidKey(idempotencyKey)) {
+            log.warn("Received order request with an oversized Idempotency-Key ({} chars)", idempotencyKey.length());
+            return Response.status(Response.Status.BAD_REQUEST).entity("Idempotency-Key is too long.").build();
+        }
+
+        // Keys are chosen by the client, so scope them to the user to avoid collisions between users
+        String scopedKey = idempotencyKey == null || idempotencyKey.isBlank() ? null : orderRequest.userId + ":" + idempotencyKey;
+        if (scopedKey != null) {
+            IdempotencyKeyStore.Reservation reservation = idempotencyKeyStore.reserve(scopedKey, requestHash(orderRequest));
+            if (reservation.outcome() != IdempotencyKeyStore.Outcome.RESERVED) {
+                return rejectOrReplay(reservation, idempotencyKey);
+            }
+        }
+
+        // Replays are served above even when saturated: they don't start a new saga
+        if (!admissionController.tryAcquire()) {
+            log.warn("Rejecting order request, saga backlog saturated (in-flight: {}, limit: {})",
+                    admissionController.inFlight(), admissionController.limit());
+            if (scopedKey != null) {
+                idempotencyKeyStore.release(scopedKey);
+            }
+            return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, admissionController.retryAfterSeconds())
+                    .entity("Too many orders in progress, retry later.")
+                    .build();
+        }
+
+        Order newOrder = Order.builder()
+                .productId(orderRequest.productId)
+                .quantity(orderRequest.quantity)
+                .userId(orderRequest.userId)
+                .status(Order.STATUS_PENDING) // Initial status
+                .build();
+
+        // The slot and the key are only settled once we know whether the order was really committed
+        txRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    admissionController.onOrderCommitted(newOrder.id);
+                    if (scopedKey != null) {
+                        idempotencyKeyStore.complete(scopedKey, newOrder.id);
+                    }
+                } else {
+                    admissionController.abandon();
+                    if (scopedKey != null) {
+                        idempotencyKeyStore.release(scopedKey);
+                    }
+                }
+            }
+        });
+
+        // Persist the new order using Panache active record pattern
+        try {
+            newOrder.persist();
+            log.info("Order created successfully with ID: {}", newOrder.id);
+            // Return the created order (or just its ID)
+            return Response.status(Response.Status.CREATED).entity(newOrder).build();
+        } catch (Exception e) {
+            log.error("Error persisting order: {}", orderRequest, e);
+            txRegistry.setRollbackOnly();
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity("Failed to create order.").build();
+        }
+    }
+
+    private Response rejectOrReplay(IdempotencyKeyStore.Reservation reservation, String idempotencyKey) {
+        switch (reservation.outcome()) {
+            case IN_PROGRESS:
+                log.warn("Order request with Idempotency-Key {} is already in progress", idempotencyKey);
+                return Response.status(Response.Status.CONFLICT)
+                        .entity("A request with the same Idempotency-Key is still in progress.")
+                        .build();
+            case MISMATCH:
+                log.warn("Idempotency-Key {} reused with a different order request", idempotencyKey);
+                return Response.status(UNPROCESSABLE_ENTITY)
+                        .entity("Idempotency-Key already used with a different order request.")
+                        .build();
+            case FULL:
+                log.warn("Rejecting order request with Idempotency-Key {}, too many keyed requests in progress", idempotencyKey);
+                return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, admissionController.retryAfterSeconds())
+                        .entity("Too many requests with an Idempotency-Key in progress, retry later.")
+                        .build();
+            default:
+                Order order = Order.findById(reservation.orderId());
+                log.info("Replaying order {} for Idempotency-Key {}", reservation.orderId(), idempotencyKey);
+                return Response.status(Response.Status.CREATED)
+                        .header(IDEMPOTENT_REPLAYED_HEADER, true)
+                        .entity(order)
+                        .build();
+        }
+    }
+
+    // Fingerprint of what the order is about, the user is already part of the scoped key
+    private static String requestHash(OrderRequest orderRequest) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((orderRequest.productId + "\n" + orderRequest.quantity).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
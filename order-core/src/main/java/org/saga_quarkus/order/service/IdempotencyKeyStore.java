@@ -0,0 +1,131 @@
+package org.saga_quarkus.order.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Maps Idempotency-Key values to the order they created, so that client retries don't create duplicate orders.
+ * <p>
+ * Entries live in memory for the configured TTL: a retry that lands on another instance or after a restart
+ * is treated as a new request. The number of entries is capped, so that clients retrying with fresh keys
+ * during an overload can't grow the store without bound: when full, the oldest completed keys are evicted
+ * before their TTL, and a key is only refused when in-progress requests alone fill the store.
+ */
+@ApplicationScoped
+public class IdempotencyKeyStore {
+
+    @ConfigProperty(name = "saga.idempotency.ttl", defaultValue = "1h")
+    Duration ttl;
+
+    @ConfigProperty(name = "saga.idempotency.max-entries", defaultValue = "10000")
+    int maxEntries;
+
+    @ConfigProperty(name = "saga.idempotency.max-key-length", defaultValue = "255")
+    int maxKeyLength;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Completed keys, oldest first, as candidates for eviction when the store is full
+    private final ConcurrentLinkedQueue<Completed> completed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param orderId     null while the request that reserved the key is still in progress
+     * @param requestHash fingerprint of the request body the key was first used with
+     */
+    private record Entry(Long orderId, String requestHash, Instant createdAt) {
+    }
+
+    private record Completed(String key, Entry entry) {
+    }
+
+    public enum Outcome {
+        /** The key was free and is now reserved by the caller */
+        RESERVED,
+        /** Another request with the same key is still being processed */
+        IN_PROGRESS,
+        /** The key already created an order for the same request */
+        REPLAY,
+        /** The key was already used with a different request */
+        MISMATCH,
+        /** The store is full of in-progress requests, the key could not be reserved */
+        FULL
+    }
+
+    /**
+     * @param orderId the order to replay, only set for {@link Outcome#REPLAY}
+     */
+    public record Reservation(Outcome outcome, Long orderId) {
+    }
+
+    public boolean isValidKey(String key) {
+        return key.length() <= maxKeyLength;
+    }
+
+    /**
+     * Reserves the key for the caller, unless it is already known.
+     */
+    public Reservation reserve(String key, String requestHash) {
+        Entry reserved = new Entry(null, requestHash, Instant.now());
+        if (!entries.containsKey(key)) {
+            evictOldestCompleted();
+        }
+        // The size check is approximate under concurrency, which is enough for a memory bound
+        boolean full = entries.size() >= maxEntries;
+        Entry winner = entries.compute(key, (k, existing) -> {
+            if (existing != null && !isExpired(existing)) {
+                return existing;
+            }
+            return full ? null : reserved;
+        });
+        if (winner == reserved) {
+            return new Reservation(Outcome.RESERVED, null);
+        }
+        if (winner == null) {
+            return new Reservation(Outcome.FULL, null);
+        }
+        if (!winner.requestHash().equals(requestHash)) {
+            return new Reservation(Outcome.MISMATCH, null);
+        }
+        if (winner.orderId() == null) {
+            return new Reservation(Outcome.IN_PROGRESS, null);
+        }
+        return new Reservation(Outcome.REPLAY, winner.orderId());
+    }
+
+    public void complete(String key, Long orderId) {
+        Entry done = entries.computeIfPresent(key, (k, existing) -> new Entry(orderId, existing.requestHash(), Instant.now()));
+        if (done != null) {
+            completed.add(new Completed(key, done));
+        }
+    }
+
+    public void release(String key) {
+        entries.remove(key);
+    }
+
+    @Scheduled(every = "{saga.idempotency.cleanup-interval}")
+    void evictExpired() {
+        entries.values().removeIf(this::isExpired);
+        completed.removeIf(c -> entries.get(c.key()) != c.entry());
+    }
+
+    private void evictOldestCompleted() {
+        while (entries.size() >= maxEntries) {
+            Completed oldest = completed.poll();
+            if (oldest == null) {
+                return;
+            }
+            // No-op if the key was released or reused since it completed
+            entries.remove(oldest.key(), oldest.entry());
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.createdAt().plus(ttl).isBefore(Instant.now());
+    }
+}
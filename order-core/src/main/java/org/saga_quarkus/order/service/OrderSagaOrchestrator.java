@@ -3,6 +3,9 @@ package org.saga_quarkus.order.service;
 import io.smallrye.reactive.messaging.annotations.Blocking;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.saga_quarkus.common.data.entity.Order;
@@ -22,6 +25,12 @@ public class OrderSagaOrchestrator {
     @Inject
     DebeziumEventDeserializer deserializer;
 
+    @Inject
+    SagaAdmissionController admissionController;
+
+    @Inject
+    TransactionSynchronizationRegistry txRegistry;
+
     @Incoming("payment-events") // Matches channel name in application.properties
     @Blocking // Use a worker thread as processing involves DB operations
     @Transactional // Manage transaction for DB updates
@@ -58,14 +67,14 @@ public class OrderSagaOrchestrator {
             case Payment.STATUS_FAILED:
                 // Payment failed, mark order as FAILED
                 log.warn("Payment failed for Order {}. Updating status to {}.", order.id, Order.STATUS_FAILED);
-                order.updateStatus(Order.STATUS_FAILED);
+                finishSaga(order, Order.STATUS_FAILED);
                 // No compensation needed yet as stock wasn't reserved
                 break;
             case Payment.STATUS_CANCELLED:
                 // Payment cancelled (compensation), potentially mark order as FAILED if not already
                  if (!Order.STATUS_FAILED.equals(order.status) && !Order.STATUS_COMPLETED.equals(order.status)) { // Avoid overriding final states
                     log.info("Payment compensation (cancelled) received for Order {}. Marking as FAILED.", order.id);
-                    order.updateStatus(Order.STATUS_FAILED);
+                    finishSaga(order, Order.STATUS_FAILED);
                 } else {
                      log.info("Payment compensation received for Order {} but status is already {}. Ignoring.", order.id, order.status);
                  }
@@ -103,7 +112,7 @@ public class OrderSagaOrchestrator {
                 // Stock reserved successfully, complete the order
                 if (Order.STATUS_AWAITING_STOCK.equals(order.status)) {
                     log.info("Stock reserved for Order {}. Updating status to {}.", order.id, Order.STATUS_COMPLETED);
-                    order.updateStatus(Order.STATUS_COMPLETED);
+                    finishSaga(order, Order.STATUS_COMPLETED);
                 } else {
                     log.warn("Received stock reservation for Order {} which is not in AWAITING_STOCK state (current: {}). Ignoring.", order.id, order.status);
                     // Potentially needs compensation if payment already happened but order state is wrong
@@ -123,7 +132,7 @@ public class OrderSagaOrchestrator {
                  // Stock cancelled (compensation), potentially mark order as FAILED if not already
                  if (!Order.STATUS_FAILED.equals(order.status) && !Order.STATUS_COMPLETED.equals(order.status)) { // Avoid overriding final states
                     log.info("Stock compensation (cancelled) received for Order {}. Marking as FAILED.", order.id);
-                    order.updateStatus(Order.STATUS_FAILED);
+                    finishSaga(order, Order.STATUS_FAILED);
                 } else {
                      log.info("Stock compensation received for Order {} but status is already {}. Ignoring.", order.id, order.status);
                  }
@@ -133,4 +142,26 @@ public class OrderSagaOrchestrator {
                 break;
         }
     }
+
+    // Moves the order to a terminal state and frees its admission slot once that is committed
+    private void finishSaga(Order order, String terminalStatus) {
+        boolean wasInFlight = !Order.STATUS_FAILED.equals(order.status) && !Order.STATUS_COMPLETED.equals(order.status);
+        order.updateStatus(terminalStatus);
+        if (!wasInFlight) {
+            return;
+        }
+        Long orderId = order.id;
+        txRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    admissionController.onSagaFinished(orderId);
+                }
+            }
+        });
+    }
 }
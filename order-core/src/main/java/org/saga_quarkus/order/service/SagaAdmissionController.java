@@ -0,0 +1,218 @@
+package org.saga_quarkus.order.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.saga_quarkus.common.data.entity.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for new sagas.
+ * <p>
+ * Keeps track of the in-flight (non-terminal) sagas and adapts a concurrency limit with an
+ * AIMD algorithm: the limit is cut multiplicatively when the saga latency or the age of the oldest
+ * in-flight saga exceed their targets, and grown additively otherwise. The oldest in-flight saga is
+ * what reveals payment-service and stock-service falling behind on order-events before any saga ends.
+ * All durations are measured on this JVM's clock, from the moment the order was committed.
+ * POST /orders is rejected while the backlog is at the limit.
+ * <p>
+ * The limit is per instance: only the sagas admitted by this instance hold one of its slots.
+ * A slot is freed when the saga reaches COMPLETED or FAILED (seen by the local orchestrator or,
+ * for sagas finished by another replica, by the periodic reconciliation) or when it exceeds
+ * the saga timeout, in which case the saga is reported as stuck and the limit backs off.
+ */
+@ApplicationScoped
+public class SagaAdmissionController {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaAdmissionController.class);
+
+    @ConfigProperty(name = "saga.admission.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "saga.admission.initial-limit", defaultValue = "100")
+    int initialLimit;
+
+    @ConfigProperty(name = "saga.admission.min-limit", defaultValue = "10")
+    int minLimit;
+
+    @ConfigProperty(name = "saga.admission.max-limit", defaultValue = "1000")
+    int maxLimit;
+
+    @ConfigProperty(name = "saga.admission.increase-step", defaultValue = "1")
+    int increaseStep;
+
+    @ConfigProperty(name = "saga.admission.backoff-ratio", defaultValue = "0.9")
+    double backoffRatio;
+
+    @ConfigProperty(name = "saga.admission.target-saga-latency", defaultValue = "2s")
+    Duration targetSagaLatency;
+
+    @ConfigProperty(name = "saga.admission.max-backlog-age", defaultValue = "2s")
+    Duration maxBacklogAge;
+
+    @ConfigProperty(name = "saga.admission.saga-timeout", defaultValue = "2m")
+    Duration sagaTimeout;
+
+    @ConfigProperty(name = "saga.admission.retry-after", defaultValue = "1s")
+    Duration retryAfter;
+
+    // Slots taken by this instance: admitted requests (committed or not) and their running sagas
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Committed sagas holding a slot, by order id, with the time they were admitted
+    private final Map<Long, Instant> slots = new ConcurrentHashMap<>();
+    private final AtomicLong stuckSagas = new AtomicLong();
+    // Worst sample seen since the last adjustment (a conservative stand-in for the p99)
+    private final AtomicLong maxSagaLatencyMs = new AtomicLong();
+    private volatile int limit;
+
+    @PostConstruct
+    void init() {
+        limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Tries to reserve a slot for a new saga. The caller must then either call
+     * {@link #onOrderCommitted(Long)} or {@link #abandon()}.
+     *
+     * @return false if the backlog is saturated and the request should be rejected
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Binds a slot taken with {@link #tryAcquire()} to the order that was committed with it.
+     */
+    public void onOrderCommitted(Long orderId) {
+        slots.put(orderId, Instant.now());
+    }
+
+    /**
+     * Gives back a slot taken with {@link #tryAcquire()} whose order was never committed.
+     */
+    public void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Called by the orchestrator once an order has been committed as COMPLETED or FAILED.
+     * Redeliveries and sagas admitted by another instance (or before a restart) don't free any slot
+     * nor record any latency.
+     */
+    public void onSagaFinished(Long orderId) {
+        release(orderId);
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, retryAfter.toSeconds());
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Number of sagas whose slot was reclaimed because they exceeded the saga timeout.
+     */
+    public long stuckSagas() {
+        return stuckSagas.get();
+    }
+
+    @Scheduled(every = "{saga.admission.adjust-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @Transactional
+    void adjust() {
+        reconcile();
+
+        long sagaLatencyMs = maxSagaLatencyMs.getAndSet(0);
+        long backlogAgeMs = oldestInFlightAge().toMillis();
+        int backlog = inFlight.get();
+        int current = limit;
+        int next = current;
+
+        if (sagaLatencyMs > targetSagaLatency.toMillis() || backlogAgeMs > maxBacklogAge.toMillis()) {
+            next = Math.max(minLimit, (int) (current * backoffRatio));
+        } else if (backlog * 2 >= current) {
+            // Only probe for more capacity when the current limit is actually being used
+            next = Math.min(maxLimit, current + increaseStep);
+        }
+
+        if (next != current) {
+            log.info("Admission limit {} -> {} (in-flight: {}, saga latency: {} ms, oldest in-flight: {} ms)",
+                    current, next, backlog, sagaLatencyMs, backlogAgeMs);
+            limit = next;
+        } else {
+            log.debug("Admission limit {} (in-flight: {}, saga latency: {} ms, oldest in-flight: {} ms)",
+                    current, backlog, sagaLatencyMs, backlogAgeMs);
+        }
+    }
+
+    // Frees the slots of sagas that ended without the local orchestrator noticing, or that are stuck
+    private void reconcile() {
+        if (slots.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(slots.keySet());
+        List<Order> finished = Order.list("id in ?1 and status in ?2", ids, List.of(Order.STATUS_COMPLETED, Order.STATUS_FAILED));
+        // Finished by another replica: the latency is an upper bound, late by at most one adjust interval
+        finished.forEach(order -> release(order.id));
+
+        Instant deadline = Instant.now().minus(sagaTimeout);
+        slots.forEach((orderId, admittedAt) -> {
+            if (admittedAt.isBefore(deadline) && slots.remove(orderId, admittedAt)) {
+                inFlight.decrementAndGet();
+                stuckSagas.incrementAndGet();
+                // Like a loss in AIMD: a saga that timed out is a congestion signal, so the limit backs off
+                recordSagaLatency(sagaTimeout);
+                log.warn("Saga for Order {} still running after {}. Releasing its admission slot (stuck sagas so far: {}).",
+                        orderId, sagaTimeout, stuckSagas.get());
+            }
+        });
+    }
+
+    private void release(Long orderId) {
+        Instant admittedAt = slots.remove(orderId);
+        if (admittedAt != null) {
+            inFlight.decrementAndGet();
+            recordSagaLatency(Duration.between(admittedAt, Instant.now()));
+        }
+    }
+
+    private Duration oldestInFlightAge() {
+        Instant now = Instant.now();
+        return slots.values().stream()
+                .min(Instant::compareTo)
+                .map(admittedAt -> Duration.between(admittedAt, now))
+                .orElse(Duration.ZERO);
+    }
+
+    private void recordSagaLatency(Duration latency) {
+        maxSagaLatencyMs.accumulateAndGet(latency.toMillis(), Math::max);
+    }
+}